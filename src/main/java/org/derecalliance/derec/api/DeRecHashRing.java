@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2023 The Building Blocks Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.derecalliance.derec.api;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * A consistent hash ring which assigns sharers to the nodes of a {@link DeRecHelperCluster} by
+ * {@link DeRecIdentity#getPublicEncryptionKeyDigest()}. When a node joins or leaves, only the sharers on the
+ * affected arcs of the ring change node.
+ *
+ * @param <N> node type
+ */
+public class DeRecHashRing<N> {
+    private final int virtualNodesPerNode;
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+    private final Map<String, N> nodes = new HashMap<>();
+
+    /**
+     * Create an empty ring
+     *
+     * @param virtualNodesPerNode the number of points each node occupies on the ring, more points giving a more
+     *                            even distribution of sharers
+     */
+    public DeRecHashRing(int virtualNodesPerNode) {
+        if (virtualNodesPerNode < 1) {
+            throw new IllegalArgumentException("Virtual nodes per node must be at least 1");
+        }
+        this.virtualNodesPerNode = virtualNodesPerNode;
+    }
+
+    /**
+     * Add a node, or replace the node with this id
+     *
+     * @param nodeId unique id of the node
+     * @param node   the node
+     */
+    public synchronized void addNode(String nodeId, N node) {
+        if (nodes.put(nodeId, Objects.requireNonNull(node)) == null) {
+            for (int i = 0; i < virtualNodesPerNode; i++) {
+                ring.put(position(nodeId, i), nodeId);
+            }
+        }
+    }
+
+    /**
+     * Remove a node. Has no effect if there is no node with this id.
+     *
+     * @param nodeId unique id of the node
+     */
+    public synchronized void removeNode(String nodeId) {
+        if (nodes.remove(nodeId) != null) {
+            for (int i = 0; i < virtualNodesPerNode; i++) {
+                ring.remove(position(nodeId, i), nodeId);
+            }
+        }
+    }
+
+    /**
+     * @return the nodes, keyed by node id
+     */
+    public synchronized Map<String, N> getNodes() {
+        return Map.copyOf(nodes);
+    }
+
+    /**
+     * Get the node responsible for a sharer
+     *
+     * @param sharerId the sharer
+     * @return the node, or null if the ring is empty
+     */
+    public N getNode(DeRecIdentity sharerId) {
+        return getNode(sharerId.getPublicEncryptionKeyDigest());
+    }
+
+    /**
+     * Get the node responsible for a public encryption key digest
+     *
+     * @param publicEncryptionKeyDigest digest of a sharer's public encryption key
+     * @return the node, or null if the ring is empty
+     * @throws IllegalArgumentException if the digest is shorter than 8 bytes
+     */
+    public synchronized N getNode(byte[] publicEncryptionKeyDigest) {
+        if (publicEncryptionKeyDigest.length < Long.BYTES) {
+            throw new IllegalArgumentException("Digest must be at least " + Long.BYTES + " bytes");
+        }
+        if (ring.isEmpty()) {
+            return null;
+        }
+        // the digest is already uniformly distributed so its leading bytes serve as the ring position
+        Map.Entry<Long, String> entry = ring.ceilingEntry(ByteBuffer.wrap(publicEncryptionKeyDigest).getLong());
+        return nodes.get((entry == null ? ring.firstEntry() : entry).getValue());
+    }
+
+    private static long position(String nodeId, int virtualNode) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((nodeId + "#" + virtualNode).getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -18,6 +18,8 @@
 package org.derecalliance.derec.api;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -26,6 +28,13 @@ import java.util.function.Function;
  * have a means that is independent of this interface for deciding how and where to store information that is to be
  * protected by it (HelperShares).
  * <p>
+ * Re-sharing normally produces different share payloads for every version, even for an unchanged value, since
+ * each split uses fresh randomness. Only where a sharer implementation reuses the previous version's shares for an
+ * unchanged value and helper set do versions held by a helper carry identical payloads; in that case helper
+ * implementations may store payloads once per content digest, shared by every version that refers to them, and
+ * reclaim a payload when the last version or share referring to it is removed. Nothing in this interface depends
+ * on how payloads are stored.
+ * <p>
  * Users of this API could be enterprise applications that instantiate the Helper implementation or could be
  * Mobile Phone Apps.
  * <p>
@@ -55,6 +64,43 @@ public interface DeRecHelper {
 		public Object getReferenceObject();
 	}
 
+	/**
+	 * An entry in this helper's change log of shares. Entries are numbered in the order the changes were made,
+	 * so a consumer can resume from the last sequence number it processed.
+	 */
+	interface ShareChange {
+		/**
+		 * The position of this change in the log. Later changes have higher numbers.
+		 */
+		long getSequenceNumber();
+
+		ShareChangeType getType();
+
+		/**
+		 * The sharer the change refers to
+		 */
+		DeRecSharerStatus getSharer();
+
+		/**
+		 * The secret id the change refers to, or null for {@link ShareChangeType#SHARER_REMOVED}
+		 */
+		DeRecSecret.Id getSecretId();
+
+		/**
+		 * The version number the change refers to, for {@link ShareChangeType#VERSION_ADDED} and
+		 * {@link ShareChangeType#VERSION_REMOVED}, or -1 if inapplicable
+		 */
+		int getVersion();
+	}
+
+	enum ShareChangeType {
+		SHARE_ADDED, // a share for a new secret has been received
+		VERSION_ADDED, // a new version of an existing share has been received
+		VERSION_REMOVED, // a version of a share is no longer held, e.g. superseded by later versions
+		SHARE_REMOVED, // a share has been removed, e.g. by DeRecShare.remove()
+		SHARER_REMOVED // a sharer and all their shares have been removed, e.g. by removeSharer()
+	}
+
 	/**
 	 * Respond to a received notification
 	 *
@@ -72,6 +118,32 @@ public interface DeRecHelper {
 	 */
 	List<? extends DeRecShare> getShares();
 
+	/**
+	 * Get the sequence number of the latest change to this helper's shares, as a starting point for
+	 * {@link #getChangesSince(long, int)}
+	 * <p>
+	 * To build an initial copy of the share inventory a consumer must read this sequence number <em>before</em>
+	 * calling {@link #getShares()}, then apply the changes since that number. Changes made between the two calls
+	 * are then reported even though they may already be reflected in the inventory read, so consumers must apply
+	 * changes idempotently (e.g. adding a share that is already present has no effect).
+	 *
+	 * @return the latest sequence number, or 0 if there have been no changes
+	 */
+	long getLatestChangeSequenceNumber();
+
+	/**
+	 * Get changes to this helper's shares in the order they were made, so that a consumer can keep a copy of
+	 * the share inventory up to date without re-reading {@link #getShares()}
+	 *
+	 * @param sequenceNumber the sequence number of the last change already processed, 0 to start from the
+	 *                       beginning of the log
+	 * @param maxChanges the maximum number of changes to return
+	 * @return up to {@code maxChanges} changes with a sequence number higher than {@code sequenceNumber}, or
+	 * empty if the implementation no longer retains changes that old, in which case the consumer must re-read
+	 * {@link #getShares()}
+	 */
+	Optional<List<? extends ShareChange>> getChangesSince(long sequenceNumber, int maxChanges);
+
 	/**
 	 * Get a list of all version numbers stored by this helper for a given secret id
 	 *
@@ -112,4 +184,28 @@ public interface DeRecHelper {
 	 * <p>
 	 */
 	void setListener(Function<DeRecHelperNotification, NotificationResponse> listener);
+
+	/**
+	 * Register an observer for the notifications that pass a filter. Any number of subscribers may be
+	 * registered alongside the listener given to {@link #setListener}. Subscribers cannot respond to a
+	 * notification; the response is always that of the listener.
+	 * <p>
+	 * A notification is only constructed if the listener or at least one subscriber will receive it.
+	 *
+	 * @param filter selects the notifications to deliver
+	 * @param subscriber receives the notifications
+	 * @return a subscription which may be used to stop delivery
+	 */
+	DeRecSubscription subscribe(DeRecHelperNotification.Filter filter, Consumer<DeRecHelperNotification> subscriber);
+
+	/**
+	 * Deliver notifications as pooled instances which are reused for later notifications, avoiding an allocation
+	 * per notification during high-rate flows. A reusable notification is valid only for the duration of the call
+	 * to the listener or a subscriber; one that needs to retain it must call {@link DeRecHelperNotification#copy()}.
+	 * <p>
+	 * Notifications are not reusable by default.
+	 *
+	 * @param reusable true to deliver reusable notifications
+	 */
+	void setReusableNotifications(boolean reusable);
 }
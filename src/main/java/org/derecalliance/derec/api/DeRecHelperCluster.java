@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2023 The Building Blocks Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.derecalliance.derec.api;
+
+import java.util.Map;
+
+/**
+ * A helper whose sharers are partitioned across several nodes, each itself a {@link DeRecHelper}, so that shares
+ * and request load can grow beyond one process. Nodes may be in the same JVM (e.g. for testing) or proxies for
+ * helpers in other processes.
+ * <p>
+ * Sharers pair with the cluster as a single helper, so every node presents the cluster's identity and holds its
+ * private keys; a share moved to another node can then still be decrypted and its messages verified.
+ * <p>
+ * Each sharer belongs to exactly one node, chosen by consistent hashing of
+ * {@link DeRecIdentity#getPublicEncryptionKeyDigest()} (see {@link DeRecHashRing}). Inbound messages from a sharer
+ * are routed to its node. As a {@link DeRecHelper} the cluster presents one logical helper:
+ * {@link #getSharers()} and {@link #getShares()} aggregate all nodes, and notifications from every node are
+ * delivered to the cluster's listener and subscribers.
+ * <p>
+ * A sharer is moved between nodes (by {@link #addNode} and {@link #removeNode}) as follows: the cluster stops
+ * delivering the sharer's inbound messages and waits for the messages already delivered to its previous node to be
+ * processed; it then exports the sharer from the previous node, imports it into the new node, drops it from the
+ * previous node and finally delivers the held messages to the new node. Neither node therefore sees a message
+ * for the sharer while the move is in progress.
+ * <p>
+ * The cluster keeps its own change log: {@link #getChangesSince(long, int)} and
+ * {@link #getLatestChangeSequenceNumber()} use cluster-wide sequence numbers, assigned in the order the cluster
+ * observes changes on its nodes. Moving a sharer between nodes is not a change to the cluster's shares and is not
+ * reported.
+ */
+public interface DeRecHelperCluster extends DeRecHelper {
+
+    /**
+     * A helper which can be a node of a cluster
+     */
+    interface Node extends DeRecHelper {
+        /**
+         * @return the helper identity presented by this node, which must be that of the cluster
+         */
+        DeRecIdentity getIdentity();
+
+        /**
+         * Export the pairing state and all shares held for a sharer, for import by another node
+         *
+         * @param sharer the sharer
+         * @return serialized state, opaque to the cluster
+         */
+        byte[] exportSharer(DeRecSharerStatus sharer);
+
+        /**
+         * Import a sharer's state exported by another node of the same cluster
+         *
+         * @param exportedSharer state returned by {@link #exportSharer(DeRecSharerStatus)}
+         */
+        void importSharer(byte[] exportedSharer);
+
+        /**
+         * Discard a sharer's state after it has been imported by another node. Unlike
+         * {@link #removeSharer(DeRecSharerStatus)}, this does not unpair from the sharer.
+         *
+         * @param sharer the sharer
+         */
+        void dropSharer(DeRecSharerStatus sharer);
+    }
+
+    /**
+     * Add a node and block till the shares of the sharers that now belong to it have been moved to it, by
+     * exporting them from their previous node, importing them into the new one and dropping them from the
+     * previous node
+     *
+     * @param nodeId unique id of the node
+     * @param node   the node
+     * @throws IllegalArgumentException if the node does not present the cluster's identity
+     */
+    void addNode(String nodeId, Node node);
+
+    /**
+     * Remove a node, blocking till its shares have been moved to the nodes that now own its sharers
+     *
+     * @param nodeId unique id of the node
+     */
+    void removeNode(String nodeId);
+
+    /**
+     * @return the nodes of the cluster, keyed by node id
+     */
+    Map<String, ? extends Node> getNodes();
+
+    /**
+     * Get the node that holds the shares of a sharer
+     *
+     * @param sharerId the sharer
+     * @return the node, or null if the cluster has no nodes
+     */
+    Node getNode(DeRecIdentity sharerId);
+}
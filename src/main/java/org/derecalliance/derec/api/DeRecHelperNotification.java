@@ -1,5 +1,8 @@
 package org.derecalliance.derec.api;
 
+import java.util.Objects;
+import java.util.Set;
+
 /**
  * Notifications related to the helper
  */
@@ -12,6 +15,14 @@ public interface DeRecHelperNotification {
 
     int getVersion(); // the version number or -1 if inapplicable
 
+    /**
+     * Make a copy of this notification that remains valid after the listener returns. Needed only when
+     * notifications are reusable, see {@link DeRecHelper#setReusableNotifications(boolean)}.
+     *
+     * @return a notification with the same content
+     */
+    DeRecHelperNotification copy();
+
     /**
      * The type of the notification - allows for introduction of custom helper notifications
      * aside from {@link StandardHelperNotificationType}
@@ -20,6 +31,47 @@ public interface DeRecHelperNotification {
         String name();
     }
 
+    /**
+     * Selects the notifications delivered to a subscriber, see {@link DeRecHelper#subscribe}. It is evaluated
+     * against the type and secret id of an event before any notification object is constructed.
+     */
+    final class Filter {
+        private static final Filter ALL = new Filter(Set.of(), Set.of());
+
+        private final Set<Type> types;
+        private final Set<DeRecSecret.Id> secretIds;
+
+        /**
+         * Create a filter
+         *
+         * @param types     the notification types to deliver, empty for all types
+         * @param secretIds the secrets whose notifications are delivered, empty for all secrets
+         */
+        public Filter(Set<? extends Type> types, Set<DeRecSecret.Id> secretIds) {
+            this.types = Set.copyOf(Objects.requireNonNull(types));
+            this.secretIds = Set.copyOf(Objects.requireNonNull(secretIds));
+        }
+
+        /**
+         * @return a filter that matches every notification
+         */
+        public static Filter all() {
+            return ALL;
+        }
+
+        /**
+         * Does a notification with these properties pass the filter
+         *
+         * @param type     the notification type
+         * @param secretId the secret id, or null if none
+         * @return true if the notification should be delivered
+         */
+        public boolean matches(Type type, DeRecSecret.Id secretId) {
+            return (types.isEmpty() || types.contains(type)) &&
+                    (secretIds.isEmpty() || (secretId != null && secretIds.contains(secretId)));
+        }
+    }
+
     enum StandardHelperNotificationType implements Type {
         PAIR_INDICATION, // someone is trying to pair for a particular secret
         UNPAIR_INDICATION, // someone is unpairing for a particular secret
@@ -31,4 +31,14 @@ public interface DeRecHelperStatus extends DeRecPairingStatus {
      * @return Instant time
      */
     Instant getLastVerificationTime();
+
+    /**
+     * Whether the helper is currently considered able to take part in recovery, i.e. it has responded to the
+     * sharer's most recent requests. Changes are also reported by the
+     * {@link DeRecSharerNotification.StandardNotificationType#HELPER_HEALTHY} and
+     * {@link DeRecSharerNotification.StandardNotificationType#HELPER_UNHEALTHY} notifications.
+     *
+     * @return true if the helper is healthy
+     */
+    boolean isHealthy();
 }
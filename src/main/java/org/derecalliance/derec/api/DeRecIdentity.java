@@ -42,9 +42,10 @@ public class DeRecIdentity {
     private final URI address; // transport address
     private int publicEncryptionKeyId;
     private final String publicEncryptionKey;
-    private String publicSignatureKey;
+    private final byte[] publicEncryptionKeyBytes;
     private final byte[] publicEncryptionKeyDigest;
-    private byte[] publicSignatureKeyDigest;
+    // replaced as a whole so that readers never see the key of one call with the digest of another
+    private volatile SignatureKey signatureKey;
 
 
     /**
@@ -62,11 +63,11 @@ public class DeRecIdentity {
         this.address = Objects.isNull(address) ? null : URI.create(address);
         this.publicEncryptionKeyId = publicEncryptionKeyId;
         this.publicEncryptionKey = publicEncryptionKey;
-        this.publicSignatureKey = publicSignatureKey;
-        this.publicEncryptionKeyDigest = messageDigest.digest(Base64.getDecoder().decode(publicEncryptionKey));
+        this.publicEncryptionKeyBytes = Base64.getDecoder().decode(publicEncryptionKey);
+        this.publicEncryptionKeyDigest = digest(publicEncryptionKeyBytes);
         if (publicSignatureKey != null) {
             // This check is necessary because when pairing with someone, we don't know their public signature key immediately
-            this.publicSignatureKeyDigest = messageDigest.digest(Base64.getDecoder().decode(publicSignatureKey));
+            this.signatureKey = SignatureKey.of(publicSignatureKey);
         }
     }
 
@@ -109,7 +110,23 @@ public class DeRecIdentity {
      * @return PEM encoded public signature key
      */
     public String getPublicSignatureKey() {
-        return publicSignatureKey;
+        SignatureKey key = signatureKey;
+        return key == null ? null : key.encoded();
+    }
+
+    /**
+     * @return decoded public encryption key
+     */
+    public byte[] getPublicEncryptionKeyBytes() {
+        return publicEncryptionKeyBytes;
+    }
+
+    /**
+     * @return decoded public signature key, or null if it is not yet known
+     */
+    public byte[] getPublicSignatureKeyBytes() {
+        SignatureKey key = signatureKey;
+        return key == null ? null : key.bytes();
     }
 
     /**
@@ -123,16 +140,38 @@ public class DeRecIdentity {
      * @return digest of public signature key
      */
     public byte[] getPublicSignatureKeyDigest() {
-        return publicSignatureKeyDigest;
+        SignatureKey key = signatureKey;
+        return key == null ? null : key.digest();
+    }
+
+    /**
+     * @return the public signature key with its decoded bytes and digest, read atomically, or null if not yet known
+     */
+    SignatureKey getSignatureKey() {
+        return signatureKey;
     }
 
     /**
-     * Used to set a peer's public signature key during pairing
+     * Used to set a peer's public signature key during pairing. Any parsed form of the previous key held in a
+     * {@link DeRecKeyCache} is no longer returned for this identity, since cache entries are keyed by digest.
      * @param publicSignatureKey public signature key
      */
     public void setPublicSignatureKey(String publicSignatureKey) {
-        this.publicSignatureKey = publicSignatureKey;
-        this.publicSignatureKeyDigest = messageDigest.digest(Base64.getDecoder().decode(publicSignatureKey));
+        this.signatureKey = SignatureKey.of(publicSignatureKey);
+    }
+
+    private static byte[] digest(byte[] key) {
+        // MessageDigest instances are not thread safe
+        synchronized (messageDigest) {
+            return messageDigest.digest(key);
+        }
+    }
+
+    record SignatureKey(String encoded, byte[] bytes, byte[] digest) {
+        static SignatureKey of(String encoded) {
+            byte[] bytes = Base64.getDecoder().decode(encoded);
+            return new SignatureKey(encoded, bytes, DeRecIdentity.digest(bytes));
+        }
     }
 
     @Override
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2023 The Building Blocks Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.derecalliance.derec.api;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of parsed public keys for {@link DeRecIdentity} instances, so that encrypting to or verifying a
+ * peer does not decode and parse its key on every message.
+ * <p>
+ * The same cached value is handed to concurrent callers, so it must be immutable or otherwise thread safe, e.g. a
+ * {@link java.security.PublicKey}. Stateful objects such as {@link javax.crypto.Cipher} or
+ * {@link java.security.Signature} must not be cached here.
+ * <p>
+ * Entries are keyed by public encryption key id plus the digest of the key, so a key replaced by
+ * {@link DeRecIdentity#setPublicSignatureKey(String)} is never served again. The least recently used entry is
+ * evicted once the cache holds {@code maximumSize} entries. Keys are parsed outside the cache's lock, so a cache
+ * shared by many sharers and helpers does not serialise parsing.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * DeRecKeyCache<PublicKey> keys = new DeRecKeyCache<>(1000, bytes -> parseX509(bytes));
+ * PublicKey key = keys.getPublicSignatureKey(helperId);
+ * }</pre>
+ *
+ * @param <K> the parsed form of a key
+ */
+public class DeRecKeyCache<K> {
+    private final int maximumSize;
+    private final Function<byte[], ? extends K> parser;
+    private final LinkedHashMap<Key, K> entries;
+
+    /**
+     * Create a key cache
+     * @param maximumSize the maximum number of parsed keys to hold
+     * @param parser converts decoded key bytes into their parsed form
+     */
+    public DeRecKeyCache(int maximumSize, Function<byte[], ? extends K> parser) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be at least 1");
+        }
+        this.maximumSize = maximumSize;
+        this.parser = Objects.requireNonNull(parser);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, K> eldest) {
+                return size() > DeRecKeyCache.this.maximumSize;
+            }
+        };
+    }
+
+    /**
+     * @param identity a helper or sharer identity
+     * @return parsed public encryption key of the identity
+     */
+    public K getPublicEncryptionKey(DeRecIdentity identity) {
+        return get(identity.getPublicEncryptionKeyId(), false, identity.getPublicEncryptionKeyBytes(),
+                identity.getPublicEncryptionKeyDigest());
+    }
+
+    /**
+     * @param identity a helper or sharer identity
+     * @return parsed public signature key of the identity, or null if its signature key is not yet known
+     */
+    public K getPublicSignatureKey(DeRecIdentity identity) {
+        // read once, so that the bytes parsed and the digest they are cached under belong to the same key
+        DeRecIdentity.SignatureKey signatureKey = identity.getSignatureKey();
+        if (signatureKey == null) {
+            return null;
+        }
+        return get(identity.getPublicEncryptionKeyId(), true, signatureKey.bytes(), signatureKey.digest());
+    }
+
+    /**
+     * Verify the signatures on a batch of messages, looking up the signature key of each distinct signer
+     * instance once for the whole batch. Each message's key is resolved before any message is verified, so a
+     * concurrent {@link DeRecIdentity#setPublicSignatureKey(String)} does not affect the batch.
+     *
+     * @param messages the messages to verify
+     * @param signer   the identity that signed a message
+     * @param verifier checks a message against its signer's parsed signature key
+     * @param <M>      message type
+     * @return for each message, in order, whether its signature is valid. A message whose signer has no known
+     * signature key is reported invalid.
+     */
+    public <M> boolean[] verifyAll(List<? extends M> messages, Function<? super M, DeRecIdentity> signer,
+                                   BiPredicate<? super K, ? super M> verifier) {
+        // DeRecIdentity is mutable and its hashCode covers the signature key, so match signers by instance
+        Map<DeRecIdentity, K> signatureKeys = new IdentityHashMap<>();
+        List<K> keys = new ArrayList<>(messages.size());
+        for (M message : messages) {
+            DeRecIdentity identity = signer.apply(message);
+            K key = signatureKeys.get(identity);
+            if (key == null && !signatureKeys.containsKey(identity)) {
+                key = getPublicSignatureKey(identity);
+                signatureKeys.put(identity, key);
+            }
+            keys.add(key);
+        }
+        boolean[] results = new boolean[messages.size()];
+        for (int i = 0; i < results.length; i++) {
+            K key = keys.get(i);
+            results[i] = key != null && verifier.test(key, messages.get(i));
+        }
+        return results;
+    }
+
+    /**
+     * Discard any parsed keys held for this identity
+     *
+     * @param identity a helper or sharer identity
+     */
+    public synchronized void invalidate(DeRecIdentity identity) {
+        entries.remove(new Key(identity.getPublicEncryptionKeyId(), false,
+                ByteBuffer.wrap(identity.getPublicEncryptionKeyDigest())));
+        DeRecIdentity.SignatureKey signatureKey = identity.getSignatureKey();
+        if (signatureKey != null) {
+            entries.remove(new Key(identity.getPublicEncryptionKeyId(), true, ByteBuffer.wrap(signatureKey.digest())));
+        }
+    }
+
+    /**
+     * Discard all parsed keys
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return the number of parsed keys currently held
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private K get(int publicEncryptionKeyId, boolean signature, byte[] keyBytes, byte[] keyDigest) {
+        Key key = new Key(publicEncryptionKeyId, signature, ByteBuffer.wrap(keyDigest));
+        synchronized (this) {
+            K parsed = entries.get(key);
+            if (parsed != null) {
+                return parsed;
+            }
+        }
+        // concurrent misses on the same key may each parse it; the first to finish is kept
+        K parsed = parser.apply(keyBytes);
+        synchronized (this) {
+            K existing = entries.putIfAbsent(key, parsed);
+            return existing != null ? existing : parsed;
+        }
+    }
+
+    private record Key(int publicEncryptionKeyId, boolean signature, ByteBuffer digest) {
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2023 The Building Blocks Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.derecalliance.derec.api;
+
+import java.util.Arrays;
+
+/**
+ * The optional header at the start of the payload that is split into shares, recording how the protected value was
+ * encoded (see {@link DeRecVersion#getCompression()}).
+ * <p>
+ * The header is {@link #MAGIC_LENGTH} magic bytes, a format version byte and a {@link DeRecVersion.Compression}
+ * code. It is written only when a value is compressed, or when an uncompressed value happens to begin with the magic
+ * bytes, so an uncompressed payload, including every payload written before this header was introduced, is
+ * normally the protected value itself. A payload that does not begin with the magic bytes is therefore always read
+ * as uncompressed.
+ * <p>
+ * Implementations that do not understand this header recover uncompressed values unchanged, but not compressed
+ * ones, so compression should only be enabled for secrets that are recovered through implementations that support
+ * it.
+ */
+public final class DeRecPayloadHeader {
+    /**
+     * The number of magic bytes at the start of a header
+     */
+    public static final int MAGIC_LENGTH = 4;
+
+    /**
+     * The total length of a header
+     */
+    public static final int LENGTH = MAGIC_LENGTH + 2;
+
+    /**
+     * The format version written by this class
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final byte[] MAGIC = {(byte) 0xDE, (byte) 0xC0, 'Z', 'H'};
+
+    private DeRecPayloadHeader() {
+    }
+
+    /**
+     * Build the payload to split for an encoded value
+     *
+     * @param compression the compression applied to {@code value}
+     * @param value       the value, after compression
+     * @return the payload, with a header if one is needed
+     */
+    public static byte[] wrap(DeRecVersion.Compression compression, byte[] value) {
+        if (compression == DeRecVersion.Compression.NONE && !startsWithMagic(value)) {
+            return value;
+        }
+        byte[] payload = new byte[LENGTH + value.length];
+        System.arraycopy(MAGIC, 0, payload, 0, MAGIC_LENGTH);
+        payload[MAGIC_LENGTH] = (byte) FORMAT_VERSION;
+        payload[MAGIC_LENGTH + 1] = (byte) compression.getCode();
+        System.arraycopy(value, 0, payload, LENGTH, value.length);
+        return payload;
+    }
+
+    /**
+     * Read the compression recorded in a recovered payload
+     *
+     * @param payload a recovered payload
+     * @return the compression, {@link DeRecVersion.Compression#NONE} if the payload has no header
+     * @throws IllegalArgumentException if the header has an unknown format version or compression code
+     */
+    public static DeRecVersion.Compression getCompression(byte[] payload) {
+        if (!startsWithMagic(payload)) {
+            return DeRecVersion.Compression.NONE;
+        }
+        if (payload.length < LENGTH || payload[MAGIC_LENGTH] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported payload header");
+        }
+        return DeRecVersion.Compression.fromCode(payload[MAGIC_LENGTH + 1]);
+    }
+
+    /**
+     * Remove the header, if any, from a recovered payload
+     *
+     * @param payload a recovered payload
+     * @return the encoded value, still to be decompressed as given by {@link #getCompression(byte[])}
+     */
+    public static byte[] unwrap(byte[] payload) {
+        return startsWithMagic(payload) ? Arrays.copyOfRange(payload, LENGTH, payload.length) : payload;
+    }
+
+    private static boolean startsWithMagic(byte[] bytes) {
+        return bytes.length >= MAGIC_LENGTH && Arrays.equals(bytes, 0, MAGIC_LENGTH, MAGIC, 0, MAGIC_LENGTH);
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2023 The Building Blocks Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.derecalliance.derec.api;
+
+import java.io.Closeable;
+
+/**
+ * A shared runtime from which many sharers and helpers (tenants) are created in one JVM, for example one
+ * {@link DeRecSharer} per end user of a backend service.
+ * <p>
+ * The runtime owns the executors, timers, transport connections, key caches and buffers used by its tenants.
+ * A tenant with no operation in progress should hold none of these, so that threads and memory grow with the
+ * amount of active work rather than with the number of tenants. Each tenant is limited by a {@link Quota} so
+ * that one busy tenant cannot starve the others.
+ * <p>
+ * Tenants are identified by a tenant id, unique within the runtime. A tenant's state (identity, keys, secrets or
+ * shares, helpers or sharers) is persisted by the runtime, so a tenant that has been {@link #release released}
+ * can later be reopened. Private keys are held by the runtime, which looks them up by the public encryption key
+ * id of the tenant's {@link DeRecIdentity}; how they are provisioned is implementation specific.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * DeRecRuntime runtime = ... // implementation specific
+ * DeRecSharer alice = runtime.newSharer("alice", aliceIdentity, Quota.unlimited());
+ * DeRecSharer bob = runtime.openSharer("bob", new Quota(4, 256)); // an existing user
+ * ...
+ * runtime.release("bob"); // bob's state is persisted and its resources freed
+ * runtime.close(); // after which alice may not be used
+ * }</pre>
+ */
+public interface DeRecRuntime extends Closeable {
+
+    /**
+     * Limits on the resources a single tenant may use
+     */
+    final class Quota {
+        private static final Quota UNLIMITED = new Quota(Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+        private final int maxConcurrentOperations;
+        private final int maxQueuedMessages;
+
+        /**
+         * Create a quota
+         *
+         * @param maxConcurrentOperations the maximum number of operations, e.g. updates or pairings, a tenant may
+         *                                have in progress; further operations wait until one completes
+         * @param maxQueuedMessages       the maximum number of inbound and outbound messages queued for a tenant.
+         *                                Inbound messages beyond the limit are discarded, as if lost in transit,
+         *                                and are retried by their senders as the protocol already requires. An
+         *                                operation that would queue outbound messages beyond the limit waits
+         *                                until earlier messages have been sent.
+         */
+        public Quota(int maxConcurrentOperations, int maxQueuedMessages) {
+            if (maxConcurrentOperations < 1 || maxQueuedMessages < 1) {
+                throw new IllegalArgumentException("Quota limits must be at least 1");
+            }
+            this.maxConcurrentOperations = maxConcurrentOperations;
+            this.maxQueuedMessages = maxQueuedMessages;
+        }
+
+        /**
+         * @return a quota which places no limits on a tenant
+         */
+        public static Quota unlimited() {
+            return UNLIMITED;
+        }
+
+        public int getMaxConcurrentOperations() {
+            return maxConcurrentOperations;
+        }
+
+        public int getMaxQueuedMessages() {
+            return maxQueuedMessages;
+        }
+    }
+
+    /**
+     * How a runtime executes the blocking methods of its sharers and helpers, such as
+     * {@link DeRecSecret#update()}, and the requests they fan out to helpers
+     */
+    enum ExecutionMode {
+        PLATFORM_THREADS, // requests to helpers are run on a bounded pool of platform threads
+        VIRTUAL_THREADS; // each request to a helper runs on its own virtual thread, so blocked callers park cheaply
+
+        /**
+         * @return true if this mode can be used on the running JVM
+         */
+        public boolean isSupported() {
+            return this == PLATFORM_THREADS || Runtime.version().feature() >= 21;
+        }
+
+        /**
+         * @return {@link #VIRTUAL_THREADS} on Java 21 or later, otherwise {@link #PLATFORM_THREADS}
+         */
+        public static ExecutionMode preferred() {
+            return VIRTUAL_THREADS.isSupported() ? VIRTUAL_THREADS : PLATFORM_THREADS;
+        }
+    }
+
+    /**
+     * Select the execution mode of this runtime. This must be done before any tenant is created or opened. A
+     * mode that is not {@link ExecutionMode#isSupported() supported} on the running JVM falls back to
+     * {@link ExecutionMode#PLATFORM_THREADS}. Runtimes use {@link ExecutionMode#PLATFORM_THREADS} unless another
+     * mode is selected.
+     * <p>
+     * Example usage:
+     * <pre>{@code
+     * runtime.setExecutionMode(ExecutionMode.preferred());
+     * }</pre>
+     *
+     * @param executionMode the requested execution mode
+     * @return the execution mode in use, which differs from {@code executionMode} after a fallback
+     * @throws IllegalStateException if a tenant has already been created or opened
+     */
+    ExecutionMode setExecutionMode(ExecutionMode executionMode);
+
+    /**
+     * @return the execution mode in use
+     */
+    ExecutionMode getExecutionMode();
+
+    /**
+     * Create a sharer for a new tenant which uses the resources of this runtime
+     *
+     * @param tenantId unique id of the tenant
+     * @param identity name, contact, DeRec address and public keys of the sharer
+     * @param quota    limits on the resources the sharer may use
+     * @return a sharer
+     * @throws IllegalStateException if a tenant with this id already exists
+     */
+    DeRecSharer newSharer(String tenantId, DeRecIdentity identity, Quota quota);
+
+    /**
+     * Open the sharer of an existing tenant, restoring its persisted state. If the tenant is already open, the
+     * open sharer is returned and {@code quota} is ignored.
+     *
+     * @param tenantId unique id of the tenant
+     * @param quota    limits on the resources the sharer may use
+     * @return a sharer, or null if there is no sharer tenant with this id
+     */
+    DeRecSharer openSharer(String tenantId, Quota quota);
+
+    /**
+     * Create a helper for a new tenant which uses the resources of this runtime
+     *
+     * @param tenantId unique id of the tenant
+     * @param identity name, contact, DeRec address and public keys of the helper
+     * @param quota    limits on the resources the helper may use
+     * @return a helper
+     * @throws IllegalStateException if a tenant with this id already exists
+     */
+    DeRecHelper newHelper(String tenantId, DeRecIdentity identity, Quota quota);
+
+    /**
+     * Open the helper of an existing tenant, restoring its persisted state. If the tenant is already open, the
+     * open helper is returned and {@code quota} is ignored.
+     *
+     * @param tenantId unique id of the tenant
+     * @param quota    limits on the resources the helper may use
+     * @return a helper, or null if there is no helper tenant with this id
+     */
+    DeRecHelper openHelper(String tenantId, Quota quota);
+
+    /**
+     * Release a tenant: block till its operations in progress are complete, persist its state and free
+     * everything the runtime holds for it. The sharer or helper object may not be used afterwards; the tenant
+     * may be reopened with {@link #openSharer} or {@link #openHelper}. Has no effect if the tenant is not open.
+     *
+     * @param tenantId unique id of the tenant
+     */
+    void release(String tenantId);
+
+    /**
+     * @return the number of tenants with at least one operation in progress
+     */
+    int getActiveTenantCount();
+
+    /**
+     * Shut down the shared executors, timers and connections. Sharers and helpers created from this runtime may
+     * not be used afterwards.
+     */
+    @Override
+    void close();
+}
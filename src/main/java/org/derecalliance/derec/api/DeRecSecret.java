@@ -18,6 +18,7 @@
 package org.derecalliance.derec.api;
 
 import java.io.Closeable;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +40,21 @@ import java.util.concurrent.Future;
  * secret.removeHelpers( ...) // removes helpers, unpairs
  * secret.update() // gets sent to current paired helpers - version 2
  * }</pre>
+ * <p>
+ * The blocking methods send a request to each helper concurrently and return as soon as the outcome is known:
+ * <ul>
+ * <li>When an update succeeds, i.e. a threshold of helpers has acknowledged it, the caller is released but the
+ * requests to the remaining helpers continue, so that the update is still sent to every paired helper (see
+ * {@link DeRecSharerNotification.StandardNotificationType#UPDATE_COMPLETE}).</li>
+ * <li>When an update fails, i.e. the threshold can no longer be reached, the requests still outstanding are
+ * cancelled, since the version cannot be made recoverable.</li>
+ * <li>Recovery cancels the requests still outstanding once enough shares have been received to reconstruct the
+ * secret, or once that is no longer possible.</li>
+ * </ul>
+ * If the calling thread is interrupted while blocked, the operation is cancelled as though superseded (an
+ * interrupted update does not become protected), its outstanding requests are cancelled, and the method throws
+ * {@link java.util.concurrent.CancellationException} with the thread's interrupt status restored. See
+ * {@link DeRecRuntime.ExecutionMode}.
  */
 public interface DeRecSecret extends Closeable {
 
@@ -97,7 +113,8 @@ public interface DeRecSecret extends Closeable {
     /**
      * List the helpers
      *
-     * @return a list of helpers
+     * @return an unmodifiable list of helpers, which does not reflect subsequent changes
+     * @see DeRecSharer#getSnapshot()
      */
     List<? extends DeRecHelperStatus> getHelperStatuses();
 
@@ -116,6 +133,54 @@ public interface DeRecSecret extends Closeable {
      */
     List<CompletableFuture<? extends DeRecHelperStatus>> removeHelpersAsync(List<? extends DeRecIdentity> helperIds);
 
+    /**
+     * Compress the protected value before splitting it into shares in subsequent updates, so that less is stored
+     * by and sent to each helper. Compression is skipped for values smaller than {@code minimumSize}, or if it
+     * does not reduce the size. The choice made is recorded in a {@link DeRecPayloadHeader} at the start of the
+     * payload that is split, and reported by {@link DeRecVersion#getCompression()}, so that values are decompressed
+     * after recovery even on a device with no record of the secret. Uncompressed values are split without a header
+     * (unless they happen to begin with the header's magic bytes), so they remain readable by implementations that
+     * do not support compression. Compression is off ({@link DeRecVersion.Compression#NONE}) by default.
+     * <p>
+     * Security: the size of a share reveals the length of the compressed value to every helper, so any single
+     * helper learns how compressible the secret is, and across versions, something about how its content changes.
+     * This weakens the property that fewer than a threshold of helpers learn nothing about the secret. Enable
+     * compression only for secrets where that is acceptable.
+     *
+     * @param compression the compression to apply
+     * @param minimumSize the size in bytes below which values are not compressed
+     */
+    void setCompression(DeRecVersion.Compression compression, int minimumSize);
+
+    /**
+     * Coalesce rapid successive updates, for apps that change a secret many times in quick succession.
+     * <p>
+     * When enabled, an update is not started immediately but held pending, and an update in progress is not
+     * cancelled. Updates requested while one is pending are merged into it so that only the newest value is
+     * distributed. The description distributed is the one that applying the merged requests in order would give:
+     * that of the latest request which supplied one (e.g. {@code update(bytes1, description)} followed by
+     * {@code update(bytes2)} distributes {@code bytes2} with {@code description}), or else the description of the
+     * current latest version.
+     * <p>
+     * The window starts with the first request of a pending update and is not restarted by later requests, so a
+     * steady stream of updates delays distribution by at most {@code window} (plus the time an update in progress
+     * takes to reach its outcome). A pending update starts when its window has expired and no update is in
+     * progress. For this purpose an update is in progress only until its outcome is known, i.e. a threshold of
+     * helpers has acknowledged it or it has failed; requests still being sent to the remaining helpers do not hold
+     * back the next update. Every caller merged into an update, blocking or asynchronous, receives the
+     * {@link DeRecVersion} actually distributed, whose value may be newer than the one that caller supplied.
+     * <p>
+     * Closing the secret cancels a pending update: its blocking callers throw
+     * {@link java.util.concurrent.CancellationException} and its futures are cancelled. An update in progress is
+     * treated as it is when coalescing is disabled.
+     * <p>
+     * Coalescing is off by default, in which case updates behave as described for {@link #update()}.
+     *
+     * @param window how long to wait for further updates, or {@link Duration#ZERO} to disable coalescing
+     * @throws IllegalArgumentException if {@code window} is null or negative
+     */
+    void setUpdateCoalescing(Duration window);
+
     /**
      * Update a secret synchronously blocking till the outcome (success or fail) is known, success
      * or failure being measured by the update being acknowledged by a threshold number of helpers
@@ -125,7 +190,8 @@ public interface DeRecSecret extends Closeable {
      * The list of currently paired helpers is used. This version of the method being intended to allow
      * re-share amongst a different constituency of helpers than the previous version.
      * <p>
-     * Any previous update that is not complete is cancelled.
+     * Any previous update that is not complete is cancelled, unless update coalescing is enabled (see
+     * {@link #setUpdateCoalescing(Duration)}).
      * <p>
      * The values of {@code bytesToProtect} and {@code description} are kept from the current latest version at the
      * time of the call.
@@ -155,6 +221,8 @@ public interface DeRecSecret extends Closeable {
     /**
      * Update a secret asynchronously, cancelling any in-progress updates, using the previous values
      * of {@code bytesToProtect} and {@code description}, amongst the currently paired helpers for this secret.
+     * If update coalescing is enabled, in-progress updates are not cancelled and this update may be merged with
+     * others, see {@link #setUpdateCoalescing(Duration)}.
      *
      * @return a Future which completes when the update is safe or when it is known to have failed
      */
@@ -162,7 +230,9 @@ public interface DeRecSecret extends Closeable {
 
 
     /**
-     * Update a secret asynchronously, cancelling any in-progress updates
+     * Update a secret asynchronously, cancelling any in-progress updates. If update coalescing is enabled,
+     * in-progress updates are not cancelled and this update may be merged with others, see
+     * {@link #setUpdateCoalescing(Duration)}.
      *
      * @param bytesToProtect the bytes of the update
      * @return a Future which completes when the update is safe or when it is known to have failed
@@ -170,7 +240,9 @@ public interface DeRecSecret extends Closeable {
     Future<? extends DeRecVersion> updateAsync(byte[] bytesToProtect);
 
     /**
-     * Update a secret asynchronously, cancelling any in-progress updates
+     * Update a secret asynchronously, cancelling any in-progress updates. If update coalescing is enabled,
+     * in-progress updates are not cancelled and this update may be merged with others, see
+     * {@link #setUpdateCoalescing(Duration)}.
      *
      * @param bytesToProtect the bytes of the update
      * @param description description of this version of the secret
@@ -195,7 +267,8 @@ public interface DeRecSecret extends Closeable {
     /**
      * get a list of versions of the secret
      *
-     * @return a {@link NavigableMap} of versions
+     * @return an unmodifiable {@link NavigableMap} of versions, which does not reflect subsequent changes
+     * @see DeRecSharer#getSnapshot()
      */
     NavigableMap<Integer, ? extends DeRecVersion> getVersions();
 
@@ -206,6 +279,17 @@ public interface DeRecSecret extends Closeable {
      */
     boolean isAvailable();
 
+    /**
+     * The quorum margin of the secret: the number of helpers in {@link #getHelperStatuses()} whose status is
+     * {@link DeRecPairingStatus.PairingStatus#PAIRED} and which are {@link DeRecHelperStatus#isHealthy() healthy},
+     * minus the number of helpers needed to recover the secret. The secret is available when the margin is zero or
+     * more; a margin of zero means the loss of any one helper makes it unavailable. Implementations maintain this
+     * incrementally as helper statuses change rather than by scanning {@link #getHelperStatuses()}.
+     *
+     * @return the quorum margin
+     */
+    int getQuorumMargin();
+
     /**
      * Is the secret in recovery mode?
      *
@@ -19,6 +19,7 @@ package org.derecalliance.derec.api;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.Future;
 import java.util.function.Consumer;
 
@@ -88,10 +89,39 @@ public interface DeRecSharer {
     /**
      * Get a list of all secrets known to this sharer
      *
-     * @return a list
+     * @return an unmodifiable list, which does not reflect secrets subsequently added
      */
     List<? extends DeRecSecret> getSecrets();
 
+    /**
+     * Get the secrets whose {@link DeRecSecret#getQuorumMargin() quorum margin} is at most a given value, e.g.
+     * {@code getSecretsAtRisk(0)} lists secrets that become unavailable if one more helper fails. Implementations
+     * index secrets by margin so that this takes time proportional to the number of secrets returned.
+     *
+     * @param maxQuorumMargin the highest quorum margin to include
+     * @return a list of secrets, lowest margin first
+     */
+    List<? extends DeRecSecret> getSecretsAtRisk(int maxQuorumMargin);
+
+    /**
+     * Get an immutable view of the state of all secrets known to this sharer, including their helpers and
+     * versions, taken atomically
+     *
+     * @return a snapshot
+     */
+    DeRecSharerSnapshot getSnapshot();
+
+    /**
+     * Get the changes made since a snapshot, in the order they were made. To read more than {@code maxChanges}
+     * changes, call again with the sequence number of the last change returned.
+     *
+     * @param sequenceNumber the sequence number of a previously taken snapshot, or of the last change processed
+     * @param maxChanges     the maximum number of changes to return
+     * @return up to {@code maxChanges} changes with a sequence number higher than {@code sequenceNumber}, or empty
+     * if the implementation no longer retains changes that old, in which case a new snapshot must be taken
+     */
+    Optional<List<? extends DeRecSharerSnapshot.Change>> getChangesSince(long sequenceNumber, int maxChanges);
+
     /**
      * Get a list of the secrets held by a helper
      * @param helper the helper to provide the list
@@ -111,6 +141,9 @@ public interface DeRecSharer {
      * @param version the version of the secret
      * @param helpers the helpers from whom to get the shares
      * @return a reconstructed secret
+     * @throws java.util.concurrent.CancellationException if the calling thread is interrupted, in which case
+     *                                                    outstanding share requests are cancelled and the
+     *                                                    thread's interrupt status is restored
      */
     DeRecSecret recoverSecret(DeRecSecret.Id secretId, int version, List<? extends DeRecIdentity> helpers);
 
@@ -133,6 +166,35 @@ public interface DeRecSharer {
      * Consumer<DeRecSharerNotification> listener2 = n -> {if (n.getSeverity().equals(ERROR)) alert(n.getType().name());};
      * sharer.setListener(listener1.andThen(listener2));
      * }</pre>
+     * Alternatively use {@link #subscribe} to register several independent, filtered subscribers.
      */
     void setListener(Consumer<DeRecSharerNotification> listener);
+
+    /**
+     * Register a subscriber for the notifications that pass a filter. Any number of subscribers may be
+     * registered alongside the listener given to {@link #setListener}.
+     * <p>
+     * A notification is only constructed if the listener or at least one subscriber will receive it, so
+     * subscribing narrowly (e.g. not to {@link DeRecSharerNotification.NotificationSeverity#UNCLASSIFIED}
+     * progress events) avoids that work during bulk updates.
+     *
+     * @param filter     selects the notifications to deliver
+     * @param subscriber receives the notifications
+     * @return a subscription which may be used to stop delivery
+     */
+    DeRecSubscription subscribe(DeRecSharerNotification.Filter filter, Consumer<DeRecSharerNotification> subscriber);
+
+    /**
+     * Deliver notifications as pooled instances which are reused for later notifications, avoiding an allocation
+     * per notification during high-rate flows such as bulk pairing and verification. A reusable notification is
+     * valid only for the duration of the call to a listener or subscriber; one that needs to retain it must call
+     * {@link DeRecSharerNotification#copy()}. Use {@link DeRecSharerNotification#getVersionNumber()} and
+     * {@link DeRecSharerNotification#getHelperStatusOrNull()} rather than {@link DeRecSharerNotification#getVersion()}
+     * and {@link DeRecSharerNotification#getHelper()} to read it without allocating.
+     * <p>
+     * Notifications are not reusable by default.
+     *
+     * @param reusable true to deliver reusable notifications
+     */
+    void setReusableNotifications(boolean reusable);
 }
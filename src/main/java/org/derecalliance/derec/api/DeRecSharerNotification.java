@@ -17,7 +17,9 @@
 
 package org.derecalliance.derec.api;
 
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.derecalliance.derec.api.DeRecSharerNotification.NotificationSeverity.*;
 
@@ -41,7 +43,8 @@ public interface DeRecSharerNotification {
     NotificationType getType();
 
     /**
-     * A message describing the nature of the notification
+     * A message describing the nature of the notification. Implementations may render the message lazily, on
+     * first call.
      */
     String getMessage();
 
@@ -50,11 +53,26 @@ public interface DeRecSharerNotification {
      */
     Optional<DeRecVersion> getVersion();
 
+    /**
+     * The number of the version, if any, that the update refers to, without the allocation of
+     * {@link #getVersion()}
+     *
+     * @return the version number or -1 if inapplicable
+     */
+    int getVersionNumber();
+
     /**
      * The helper, if any, that the update refers to
      */
     Optional<DeRecHelperStatus> getHelper();
 
+    /**
+     * The helper, if any, that the update refers to, without the allocation of {@link #getHelper()}
+     *
+     * @return the helper or null if inapplicable
+     */
+    DeRecHelperStatus getHelperStatusOrNull();
+
     /**
      * The secret this update refers to
      */
@@ -65,6 +83,69 @@ public interface DeRecSharerNotification {
      */
     NotificationSeverity getSeverity();
 
+    /**
+     * Make a copy of this notification that remains valid after the listener returns. Needed only when
+     * notifications are reusable, see {@link DeRecSharer#setReusableNotifications(boolean)}.
+     *
+     * @return a notification with the same content
+     */
+    DeRecSharerNotification copy();
+
+    /**
+     * Selects the notifications delivered to a subscriber, see {@link DeRecSharer#subscribe}. It is evaluated
+     * against the type, severity and secret id of an event before any notification object is constructed.
+     */
+    final class Filter {
+        private static final Filter ALL = new Filter(Set.of(), UNCLASSIFIED, Set.of());
+
+        private final Set<NotificationType> types;
+        private final NotificationSeverity minimumSeverity;
+        private final Set<DeRecSecret.Id> secretIds;
+
+        /**
+         * Create a filter
+         *
+         * @param types           the notification types to deliver, empty for all types
+         * @param minimumSeverity the lowest severity to deliver
+         * @param secretIds       the secrets whose notifications are delivered, empty for all secrets
+         */
+        public Filter(Set<? extends NotificationType> types, NotificationSeverity minimumSeverity,
+                      Set<DeRecSecret.Id> secretIds) {
+            this.types = Set.copyOf(Objects.requireNonNull(types));
+            this.minimumSeverity = Objects.requireNonNull(minimumSeverity);
+            this.secretIds = Set.copyOf(Objects.requireNonNull(secretIds));
+        }
+
+        /**
+         * @return a filter that matches every notification
+         */
+        public static Filter all() {
+            return ALL;
+        }
+
+        /**
+         * @param minimumSeverity the lowest severity to deliver
+         * @return a filter that matches every notification of at least this severity
+         */
+        public static Filter atLeast(NotificationSeverity minimumSeverity) {
+            return new Filter(Set.of(), minimumSeverity, Set.of());
+        }
+
+        /**
+         * Does a notification with these properties pass the filter
+         *
+         * @param type     the notification type
+         * @param severity the notification severity
+         * @param secretId the id of the secret the notification refers to
+         * @return true if the notification should be delivered
+         */
+        public boolean matches(NotificationType type, NotificationSeverity severity, DeRecSecret.Id secretId) {
+            return severity.compareTo(minimumSeverity) >= 0 &&
+                    (types.isEmpty() || types.contains(type)) &&
+                    (secretIds.isEmpty() || (secretId != null && secretIds.contains(secretId)));
+        }
+    }
+
     enum StandardNotificationType implements NotificationType{
         UPDATE_PROGRESS(UNCLASSIFIED),  // implementation-dependent report on this operation's progress
         UPDATE_AVAILABLE(NORMAL), // a sufficient number of acknowledgements have been received for an update to consider it recoverable
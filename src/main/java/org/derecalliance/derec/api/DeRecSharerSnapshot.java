@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2023 The Building Blocks Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.derecalliance.derec.api;
+
+import java.util.List;
+import java.util.NavigableMap;
+
+/**
+ * An immutable, consistent view of the state of a {@link DeRecSharer} at a point in time. Nothing in a snapshot
+ * changes after it has been taken, so it may be read from any thread without locking while updates are in
+ * flight. Implementations are expected to share structure between successive snapshots so that taking one is
+ * cheap.
+ * <p>
+ * Each snapshot carries a sequence number; {@link DeRecSharer#getChangesSince(long, int)} reports what has
+ * changed since a given sequence number, so that pollers need not re-read the whole state.
+ */
+public interface DeRecSharerSnapshot {
+    /**
+     * The sequence number of this snapshot. Later snapshots have higher numbers.
+     */
+    long getSequenceNumber();
+
+    /**
+     * The state of each secret known to the sharer when the snapshot was taken
+     */
+    List<? extends SecretState> getSecrets();
+
+    /**
+     * The state of a single secret within a snapshot
+     */
+    interface SecretState {
+        DeRecSecret.Id getSecretId();
+
+        String getDescription();
+
+        /**
+         * The helpers of the secret, with the status each had when the snapshot was taken
+         */
+        List<? extends DeRecHelperStatus> getHelperStatuses();
+
+        /**
+         * The versions of the secret when the snapshot was taken
+         */
+        NavigableMap<Integer, ? extends DeRecVersion> getVersions();
+
+        boolean isAvailable();
+
+        /**
+         * The quorum margin of the secret when the snapshot was taken, consistent with
+         * {@link #getHelperStatuses()}
+         *
+         * @see DeRecSecret#getQuorumMargin()
+         */
+        int getQuorumMargin();
+
+        boolean isRecovering();
+
+        boolean isClosed();
+    }
+
+    /**
+     * A single change to the state of a sharer. Every change to a {@link SecretState} is reported by one of the
+     * {@link ChangeType change types}, so that applying the changes since a snapshot keeps a copy of it current.
+     */
+    interface Change {
+        /**
+         * The sequence number of the first snapshot that includes this change
+         */
+        long getSequenceNumber();
+
+        ChangeType getType();
+
+        DeRecSecret.Id getSecretId();
+
+        /**
+         * The helper the change refers to, or null if inapplicable
+         */
+        DeRecIdentity getHelperId();
+
+        /**
+         * The version number the change refers to, or -1 if inapplicable
+         */
+        int getVersion();
+    }
+
+    enum ChangeType {
+        SECRET_ADDED, // a secret has been created
+        SECRET_CLOSED, // a secret has been closed
+        SECRET_AVAILABILITY_CHANGED, // a secret has become available or unavailable
+        SECRET_RECOVERY_CHANGED, // a secret has entered or left recovery mode
+        HELPER_ADDED, // a helper has been added to a secret
+        HELPER_STATUS_CHANGED, // the pairing status or verification time of a helper has changed
+        HELPER_HEALTH_CHANGED, // a helper has become healthy or unhealthy
+        HELPER_REMOVED, // a helper has been removed from a secret
+        VERSION_ADDED, // a new version of a secret has been created
+        VERSION_PROTECTED // a version has been acknowledged by sufficient helpers to be recoverable
+    }
+}
@@ -37,10 +37,18 @@ public interface DeRecVersion {
     int getVersionNumber();
 
     /**
-     * The value of the secret at this version
+     * The value of the secret at this version, after any decompression
      */
     byte[] getProtectedValue();
 
+    /**
+     * The compression applied to the protected value before it was split into shares. The choice is recorded in a
+     * {@link DeRecPayloadHeader} at the start of the payload that is split, so it is recovered together with the
+     * value, e.g. on a new device, rather than depending on local state. A payload without a header, such as one
+     * written before compression was introduced, is uncompressed.
+     */
+    Compression getCompression();
+
     /**
      * The version has been successfully distributed among helpers.
      */
@@ -50,4 +58,39 @@ public interface DeRecVersion {
      * Get the list of helpers who are protecting this version.
      */
     List<DeRecHelperStatus> getProtectingHelperStatuses();
+
+    /**
+     * Compression of a protected value before splitting, identified in a {@link DeRecPayloadHeader} by its code
+     */
+    enum Compression {
+        NONE(0), // the value was split as is
+        DEFLATE(1); // the value was compressed with DEFLATE (RFC 1951) before splitting
+
+        private final int code;
+
+        Compression(int code) {
+            this.code = code;
+        }
+
+        /**
+         * @return the code identifying this compression in a {@link DeRecPayloadHeader}
+         */
+        public int getCode() {
+            return code;
+        }
+
+        /**
+         * @param code the compression code of a {@link DeRecPayloadHeader}
+         * @return the compression identified by the header byte
+         * @throws IllegalArgumentException if the code is unknown
+         */
+        public static Compression fromCode(int code) {
+            for (Compression compression : values()) {
+                if (compression.code == code) {
+                    return compression;
+                }
+            }
+            throw new IllegalArgumentException("Unknown compression code " + code);
+        }
+    }
 }
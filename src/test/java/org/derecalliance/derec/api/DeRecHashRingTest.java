@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2023 The Building Blocks Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.derecalliance.derec.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeRecHashRingTest {
+    private final List<byte[]> digests = new ArrayList<>();
+    private DeRecHashRing<String> ring;
+
+    @BeforeEach
+    void setUp() {
+        ring = new DeRecHashRing<>(64);
+        for (String node : List.of("a", "b", "c")) {
+            ring.addNode(node, node);
+        }
+        Random random = new Random(1);
+        for (int i = 0; i < 10_000; i++) {
+            byte[] digest = new byte[48];
+            random.nextBytes(digest);
+            digests.add(digest);
+        }
+    }
+
+    @Test
+    void emptyRingHasNoNode() {
+        assertNull(new DeRecHashRing<String>(1).getNode(digests.get(0)));
+    }
+
+    @Test
+    void everyNodeReceivesSharers() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (byte[] digest : digests) {
+            counts.merge(ring.getNode(digest), 1, Integer::sum);
+        }
+        assertEquals(ring.getNodes().keySet(), counts.keySet());
+    }
+
+    @Test
+    void joiningNodeOnlyTakesSharers() {
+        Map<byte[], String> before = assignments();
+        ring.addNode("d", "d");
+        int moved = 0;
+        for (byte[] digest : digests) {
+            String node = ring.getNode(digest);
+            if (!node.equals(before.get(digest))) {
+                assertEquals("d", node);
+                moved++;
+            }
+        }
+        assertTrue(moved > 0);
+    }
+
+    @Test
+    void leavingNodeRestoresPreviousAssignment() {
+        Map<byte[], String> before = assignments();
+        ring.addNode("d", "d");
+        ring.removeNode("d");
+        for (byte[] digest : digests) {
+            assertEquals(before.get(digest), ring.getNode(digest));
+        }
+    }
+
+    @Test
+    void leavingNodeOnlyMovesItsOwnSharers() {
+        Map<byte[], String> before = assignments();
+        ring.removeNode("a");
+        for (byte[] digest : digests) {
+            if (!before.get(digest).equals("a")) {
+                assertEquals(before.get(digest), ring.getNode(digest));
+            } else {
+                assertNotEquals("a", ring.getNode(digest));
+            }
+        }
+    }
+
+    @Test
+    void shortDigestIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ring.getNode(new byte[7]));
+    }
+
+    @Test
+    void invalidVirtualNodeCountIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new DeRecHashRing<String>(0));
+    }
+
+    private Map<byte[], String> assignments() {
+        Map<byte[], String> assignments = new HashMap<>();
+        for (byte[] digest : digests) {
+            assignments.put(digest, ring.getNode(digest));
+        }
+        return assignments;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2023 The Building Blocks Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.derecalliance.derec.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeRecKeyCacheTest {
+    private final List<String> parsed = new ArrayList<>();
+    private DeRecKeyCache<String> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DeRecKeyCache<>(2, bytes -> {
+            String key = new String(bytes, StandardCharsets.UTF_8);
+            parsed.add(key);
+            return key;
+        });
+    }
+
+    @Test
+    void cachedKeyIsParsedOnce() {
+        DeRecIdentity identity = identity(1, "enc-1", "sig-1");
+        assertEquals("enc-1", cache.getPublicEncryptionKey(identity));
+        assertEquals("enc-1", cache.getPublicEncryptionKey(identity));
+        assertEquals(List.of("enc-1"), parsed);
+    }
+
+    @Test
+    void leastRecentlyUsedKeyIsEvictedAtMaximumSize() {
+        DeRecIdentity first = identity(1, "enc-1", null);
+        DeRecIdentity second = identity(2, "enc-2", null);
+        DeRecIdentity third = identity(3, "enc-3", null);
+        cache.getPublicEncryptionKey(first);
+        cache.getPublicEncryptionKey(second);
+        cache.getPublicEncryptionKey(first);
+        cache.getPublicEncryptionKey(third);
+        assertEquals(2, cache.size());
+
+        parsed.clear();
+        cache.getPublicEncryptionKey(first);
+        assertEquals(List.of(), parsed);
+        cache.getPublicEncryptionKey(second);
+        assertEquals(List.of("enc-2"), parsed);
+    }
+
+    @Test
+    void replacedSignatureKeyIsNotServed() {
+        DeRecIdentity identity = identity(1, "enc-1", "sig-old");
+        assertEquals("sig-old", cache.getPublicSignatureKey(identity));
+        identity.setPublicSignatureKey(encode("sig-new"));
+        assertEquals("sig-new", cache.getPublicSignatureKey(identity));
+    }
+
+    @Test
+    void unknownSignatureKeyIsNull() {
+        assertNull(cache.getPublicSignatureKey(identity(1, "enc-1", null)));
+    }
+
+    @Test
+    void verifyAllParsesEachSignerOnce() {
+        DeRecIdentity alice = identity(1, "enc-a", "sig-a");
+        DeRecIdentity bob = identity(2, "enc-b", "sig-b");
+        List<DeRecIdentity> messages = List.of(alice, bob, alice, bob, alice);
+        boolean[] results = cache.verifyAll(messages, m -> m,
+                (key, m) -> key.equals(new String(m.getPublicSignatureKeyBytes(), StandardCharsets.UTF_8)));
+        assertArrayEquals(new boolean[]{true, true, true, true, true}, results);
+        assertEquals(List.of("sig-a", "sig-b"), parsed);
+    }
+
+    @Test
+    void verifyAllReportsSignerWithoutSignatureKeyInvalid() {
+        DeRecIdentity known = identity(1, "enc-1", "sig-1");
+        DeRecIdentity unknown = identity(2, "enc-2", null);
+        boolean[] results = cache.verifyAll(List.of(known, unknown), m -> m, (key, m) -> true);
+        assertArrayEquals(new boolean[]{true, false}, results);
+    }
+
+    @Test
+    void invalidMaximumSizeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new DeRecKeyCache<String>(0, bytes -> ""));
+    }
+
+    private static DeRecIdentity identity(int keyId, String encryptionKey, String signatureKey) {
+        return new DeRecIdentity("name", "mailto:test@example.org", null, keyId, encode(encryptionKey),
+                signatureKey == null ? null : encode(signatureKey));
+    }
+
+    private static String encode(String key) {
+        return Base64.getEncoder().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2023 The Building Blocks Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.derecalliance.derec.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.derecalliance.derec.api.DeRecVersion.Compression.DEFLATE;
+import static org.derecalliance.derec.api.DeRecVersion.Compression.NONE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeRecPayloadHeaderTest {
+    private static final byte[] MAGIC = {(byte) 0xDE, (byte) 0xC0, 'Z', 'H'};
+
+    @Test
+    void uncompressedValueHasNoHeader() {
+        byte[] value = "secret".getBytes(StandardCharsets.UTF_8);
+        assertSame(value, DeRecPayloadHeader.wrap(NONE, value));
+    }
+
+    @Test
+    void payloadWithoutHeaderIsReadAsUncompressed() {
+        for (byte first : new byte[]{0, 1, 42}) {
+            byte[] legacy = {first, 2, 3};
+            assertEquals(NONE, DeRecPayloadHeader.getCompression(legacy));
+            assertArrayEquals(legacy, DeRecPayloadHeader.unwrap(legacy));
+        }
+    }
+
+    @Test
+    void compressedValueRoundTrips() {
+        byte[] value = {1, 2, 3};
+        byte[] payload = DeRecPayloadHeader.wrap(DEFLATE, value);
+        assertEquals(DeRecPayloadHeader.LENGTH + value.length, payload.length);
+        assertEquals(DEFLATE, DeRecPayloadHeader.getCompression(payload));
+        assertArrayEquals(value, DeRecPayloadHeader.unwrap(payload));
+    }
+
+    @Test
+    void uncompressedValueStartingWithMagicIsEscaped() {
+        byte[] value = {MAGIC[0], MAGIC[1], MAGIC[2], MAGIC[3], 9};
+        byte[] payload = DeRecPayloadHeader.wrap(NONE, value);
+        assertEquals(DeRecPayloadHeader.LENGTH + value.length, payload.length);
+        assertEquals(NONE, DeRecPayloadHeader.getCompression(payload));
+        assertArrayEquals(value, DeRecPayloadHeader.unwrap(payload));
+    }
+
+    @Test
+    void unknownFormatVersionIsRejected() {
+        byte[] payload = {MAGIC[0], MAGIC[1], MAGIC[2], MAGIC[3], 99, 1};
+        assertThrows(IllegalArgumentException.class, () -> DeRecPayloadHeader.getCompression(payload));
+    }
+
+    @Test
+    void unknownCompressionCodeIsRejected() {
+        byte[] payload = {MAGIC[0], MAGIC[1], MAGIC[2], MAGIC[3], DeRecPayloadHeader.FORMAT_VERSION, 99};
+        assertThrows(IllegalArgumentException.class, () -> DeRecPayloadHeader.getCompression(payload));
+    }
+}